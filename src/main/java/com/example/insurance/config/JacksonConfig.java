@@ -0,0 +1,19 @@
+package com.example.insurance.config;
+
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.ser.std.SimpleBeanPropertyFilter;
+import tools.jackson.databind.ser.std.SimpleFilterProvider;
+
+@Configuration
+public class JacksonConfig {
+
+    // Models annotated with @JsonFilter serialise all their properties unless a request asks for ?fields=
+    @Bean
+    public JsonMapperBuilderCustomizer defaultPropertyFilter() {
+        return builder -> builder.filterProvider(
+                new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+}
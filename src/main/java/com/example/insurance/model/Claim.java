@@ -1,5 +1,6 @@
 package com.example.insurance.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -7,6 +8,7 @@ import lombok.ToString;
 @Setter
 @Getter
 @ToString
+@JsonFilter("fields")
 public class Claim {
 
     private String claimId;
@@ -1,5 +1,6 @@
 package com.example.insurance.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -9,6 +10,7 @@ import java.util.List;
 @Setter
 @Getter
 @ToString
+@JsonFilter("fields")
 public class Policy {
 
     private String policyId;
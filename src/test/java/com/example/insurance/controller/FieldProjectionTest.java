@@ -0,0 +1,182 @@
+package com.example.insurance.controller;
+
+import com.example.insurance.model.Policy;
+import com.example.insurance.security.JwtService;
+import com.example.insurance.support.PolicyFixtures;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FieldProjectionTest {
+
+    private static final String NATIONAL_ID = "12345678A";
+    // Enough policies to push GET /policies over the 2KB compression threshold; the claims
+    // response stays below it
+    private static final int POLICIES = 20;
+
+    private static final WireMockServer wireMock = new WireMockServer(wireMockConfig().dynamicPort());
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private MockMvc mockMvc;
+    private String token;
+
+    @BeforeAll
+    static void startWireMock() {
+        wireMock.start();
+
+        wireMock.stubFor(WireMock.get(urlPathEqualTo("/polizas"))
+                .withQueryParam("dni", equalTo(NATIONAL_ID))
+                .willReturn(okJson(PolicyFixtures.policyListJson(POLICIES, i -> "P" + i))));
+        wireMock.stubFor(WireMock.get(urlPathEqualTo("/polizas/P0/siniestros"))
+                .willReturn(okJson("[{\"siniestroId\": \"C1\", \"descripcion\": \"Detalle\", "
+                        + "\"estado\": \"En proceso\", \"fecha\": \"2024-08-02\"}]")));
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        wireMock.stop();
+    }
+
+    @DynamicPropertySource
+    static void wireMockProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.wiremock.base-url", () -> wireMock.baseUrl());
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+        token = jwtService.generateToken(NATIONAL_ID);
+    }
+
+    @Test
+    void policiesWithFieldsLeaveOutOtherProperties() throws Exception {
+        mockMvc.perform(get("/policies")
+                        .param("fields", "policyId,coverages")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].policyId").value("P0"))
+                .andExpect(jsonPath("$[0].coverages[0]").value("Cobertura A"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void policiesWithoutFieldsReturnAllProperties() throws Exception {
+        mockMvc.perform(get("/policies")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].policyId").value("P0"))
+                .andExpect(jsonPath("$[0].description").value(PolicyFixtures.DESCRIPTION))
+                .andExpect(jsonPath("$[0].coverages[1]").value("Cobertura B"));
+    }
+
+    @Test
+    void blankFieldsReturnAllProperties() throws Exception {
+        for (String fields : new String[] {",", " , ", "\t"}) {
+            mockMvc.perform(get("/policies")
+                            .param("fields", fields)
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].policyId").value("P0"))
+                    .andExpect(jsonPath("$[0].description").value(PolicyFixtures.DESCRIPTION));
+        }
+    }
+
+    @Test
+    void fieldsAreTrimmed() throws Exception {
+        mockMvc.perform(get("/policies")
+                        .param("fields", "\tpolicyId , coverages")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].policyId").value("P0"))
+                .andExpect(jsonPath("$[0].coverages[0]").value("Cobertura A"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void applicationMapperSerialisesFilteredModelsWithoutAHint() {
+        Policy policy = new Policy();
+        policy.setPolicyId("P0");
+
+        assertThat(jsonMapper.writeValueAsString(policy)).contains("\"policyId\":\"P0\"");
+    }
+
+    @Test
+    void claimsWithFieldsAreProjected() throws Exception {
+        mockMvc.perform(get("/policies/P0/claims")
+                        .param("fields", "claimId,status")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].claimId").value("C1"))
+                .andExpect(jsonPath("$[0].status").value("En proceso"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].date").doesNotExist());
+    }
+
+    @Test
+    void largeResponsesAreGzipped() throws Exception {
+        HttpResponse<byte[]> response = requestGzip("/policies");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    }
+
+    @Test
+    void smallResponsesAreNotGzipped() throws Exception {
+        HttpResponse<byte[]> response = requestGzip("/policies/P0/claims");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().length).isLessThan(2048);
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    // Compression happens in the embedded server, so these go over a real connection
+    private HttpResponse<byte[]> requestGzip(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.insurance.perf;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the whole application (JWT login, policies and claims) against an in-process
+ * WireMock at a fixed arrival rate and writes a JSON report. Only runs with {@code -Pperf}:
+ * <pre>
+ * ./mvnw test -Pperf -Dperf.rate=100 -Dperf.duration=30s -Dperf.upstream.latency=50ms -Dperf.upstream.error-rate=0.01
+ * ./mvnw test -Pperf -Dperf.policies-per-user=200
+ * </pre>
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiPerformanceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiPerformanceTest.class);
+
+    private static final String PROJECTED_LIST = "/policies?fields=policyId,coverages";
+    private static final String GZIP = "gzip";
+
+    private static final PerfSettings settings = PerfSettings.fromSystemProperties();
+    private static UpstreamStub upstream;
+
+    private final LoadGenerator loadGenerator = new LoadGenerator();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @BeforeAll
+    static void startUpstream() {
+        upstream = UpstreamStub.start(settings);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop();
+    }
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.wiremock.base-url", () -> upstream.baseUrl());
+    }
+
+    @Test
+    void fixedArrivalRate() throws Exception {
+        List<String> tokens = login();
+
+        List<LoadGenerator.Scenario> scenarios = List.of(
+                new LoadGenerator.Scenario("auth.login", i -> loginRequest(nationalId(i))),
+                new LoadGenerator.Scenario("policies.list", i -> get("/policies", tokens, i)),
+                // before/after comparison for field projection and gzip on the list endpoint
+                new LoadGenerator.Scenario("policies.list.projected", i -> get(PROJECTED_LIST, tokens, i)),
+                new LoadGenerator.Scenario("policies.list.gzip", i -> get("/policies", tokens, i, GZIP)),
+                new LoadGenerator.Scenario("policies.list.projected.gzip", i -> get(PROJECTED_LIST, tokens, i, GZIP)),
+                new LoadGenerator.Scenario("policies.detail", i -> get("/policies/" + policyId(i), tokens, i)),
+                new LoadGenerator.Scenario("policies.conditions", i -> get("/policies/" + policyId(i) + "/conditions", tokens, i)),
+                new LoadGenerator.Scenario("policies.claims", i -> get("/policies/" + policyId(i) + "/claims", tokens, i)),
+                new LoadGenerator.Scenario("claims.detail", i -> get("/claims/A" + policyId(i), tokens, i)));
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (LoadGenerator.Scenario scenario : scenarios) {
+            results.add(measure(scenario));
+        }
+
+        Path report = PerfReport.of(settings, results).write(settings.reportDir());
+        log.info("Performance report written to {}", report.toAbsolutePath());
+
+        assertThat(results).allSatisfy(r -> assertThat(r.successful()).isPositive());
+    }
+
+    private ScenarioResult measure(LoadGenerator.Scenario scenario) {
+        if (!settings.warmup().isZero()) {
+            loadGenerator.run(scenario, settings.ratePerSecond(), settings.warmup());
+        }
+
+        // Reset after the warm-up so the measured window starts with empty caches and a closed
+        // circuit, and the injected upstream latency and faults show up in the results
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+        upstream.resetCounts();
+
+        ScenarioResult result = loadGenerator.run(scenario, settings.ratePerSecond(), settings.duration())
+                .withUpstream(upstream.callCounts(), upstream.injectedFaults());
+        log.info("{}: {} req/s ({} successful), p50={}ms p99={}ms p999={}ms, statuses={}, upstream={}",
+                result.name(), format(result.throughputPerSecond()), format(result.successfulThroughputPerSecond()),
+                format(result.latencyMs().p50()), format(result.latencyMs().p99()), format(result.latencyMs().p999()),
+                result.statusCounts(), result.upstreamCalls());
+        return result;
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+
+    private List<String> login() throws Exception {
+        List<String> tokens = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            HttpResponse<String> response = loadGenerator.send(loginRequest(nationalId(i)));
+            assertThat(response.statusCode()).isEqualTo(200);
+            tokens.add((String) jsonMapper.readValue(response.body(), Map.class).get("token"));
+        }
+        return tokens;
+    }
+
+    private HttpRequest loginRequest(String nationalId) {
+        return HttpRequest.newBuilder(uri("/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + nationalId + "\"}"))
+                .build();
+    }
+
+    private HttpRequest get(String path, List<String> tokens, long i) {
+        return get(path, tokens, i, "identity");
+    }
+
+    // The JDK client never decompresses, so the recorded body size is what went over the wire
+    private HttpRequest get(String path, List<String> tokens, long i, String acceptEncoding) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + tokens.get(user(i)))
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private int user(long i) {
+        return (int) (i % settings.users());
+    }
+
+    private String nationalId(long i) {
+        return String.format("%08dP", user(i));
+    }
+
+    // The bundled /polizas stub returns a single policy "12345" + dni for every user
+    private String policyId(long i) {
+        return "12345" + nationalId(i);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.insurance.perf;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load generator: requests are fired at a fixed arrival rate regardless of how
+ * long earlier ones take, and latency is measured from the scheduled send time so a slow
+ * server cannot hide queueing delay (no coordinated omission).
+ */
+class LoadGenerator {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    record Scenario(String name, LongFunction<HttpRequest> request) {
+    }
+
+    HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    ScenarioResult run(Scenario scenario, double ratePerSecond, Duration duration) {
+        long intervalNanos = (long) (NANOS_PER_SECOND / ratePerSecond);
+        int planned = (int) Math.max(1, duration.toNanos() / intervalNanos);
+
+        long[] latencies = new long[planned];
+        int[] statuses = new int[planned];
+        long[] bytes = new long[planned];
+        AtomicLong lastCompletion = new AtomicLong();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(planned);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < planned; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int slot = i;
+            inFlight.add(httpClient.sendAsync(scenario.request().apply(i), HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((response, error) -> {
+                        long now = System.nanoTime();
+                        latencies[slot] = now - scheduled;
+                        statuses[slot] = error == null ? response.statusCode() : 0;
+                        bytes[slot] = error == null ? response.body().length : 0;
+                        lastCompletion.accumulateAndGet(now, Math::max);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+
+        return ScenarioResult.of(scenario.name(), ratePerSecond, latencies, statuses, bytes,
+                lastCompletion.get() - start);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.insurance.perf;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Machine-readable result of a performance run. Written as JSON to
+ * {@code <perf.report-dir>/<label>-<timestamp>.json} so runs from different releases can be diffed.
+ */
+record PerfReport(String label, String timestamp, Settings settings, List<ScenarioResult> scenarios) {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    record Settings(double ratePerSecond, long warmupMs, long durationMs, int users, int policiesPerUser,
+                    long upstreamLatencyMs, double upstreamErrorRate) {
+    }
+
+    static PerfReport of(PerfSettings settings, List<ScenarioResult> scenarios) {
+        return new PerfReport(settings.label(), Instant.now().toString(),
+                new Settings(settings.ratePerSecond(), settings.warmup().toMillis(), settings.duration().toMillis(),
+                        settings.users(), settings.policiesPerUser(), settings.upstreamLatency().toMillis(),
+                        settings.upstreamErrorRate()),
+                scenarios);
+    }
+
+    Path write(Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        Path file = reportDir.resolve(label + "-" + FILE_TIMESTAMP.format(Instant.parse(timestamp)) + ".json");
+        String json = JsonMapper.builder().build()
+                .writerWithDefaultPrettyPrinter()
+                .writeValueAsString(this);
+        return Files.writeString(file, json);
+    }
+}
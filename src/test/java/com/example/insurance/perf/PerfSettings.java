@@ -0,0 +1,36 @@
+package com.example.insurance.perf;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Knobs for a performance run, passed as -Dperf.* on the Maven command line
+record PerfSettings(
+        String label,
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int users,
+        int policiesPerUser,
+        Duration upstreamLatency,
+        double upstreamErrorRate,
+        Path reportDir) {
+
+    static PerfSettings fromSystemProperties() {
+        return new PerfSettings(
+                System.getProperty("perf.label", "local"),
+                Double.parseDouble(System.getProperty("perf.rate", "50")),
+                duration("perf.warmup", "5s"),
+                duration("perf.duration", "20s"),
+                Integer.parseInt(System.getProperty("perf.users", "100")),
+                Integer.parseInt(System.getProperty("perf.policies-per-user", "1")),
+                duration("perf.upstream.latency", "20ms"),
+                Double.parseDouble(System.getProperty("perf.upstream.error-rate", "0")),
+                Path.of(System.getProperty("perf.report-dir", "target/perf-reports")));
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.insurance.perf;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// One measured scenario, serialised as-is into the JSON report
+record ScenarioResult(
+        String name,
+        double targetRatePerSecond,
+        int requests,
+        double throughputPerSecond,
+        double successfulThroughputPerSecond,
+        Map<String, Integer> statusCounts,
+        Latency latencyMs,
+        double meanResponseBytes,
+        Map<String, Integer> upstreamCalls,
+        long injectedUpstreamFaults) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    record Latency(double p50, double p99, double p999, double max, double mean) {
+    }
+
+    static ScenarioResult of(String name, double targetRate, long[] latencies, int[] statuses, long[] bytes, long elapsedNanos) {
+        Map<String, Integer> statusCounts = new TreeMap<>();
+        int successful = 0;
+        for (int status : statuses) {
+            statusCounts.merge(status == 0 ? "connection-error" : String.valueOf(status), 1, Integer::sum);
+            if (status >= 200 && status < 300) {
+                successful++;
+            }
+        }
+        double elapsedSeconds = elapsedNanos / 1_000_000_000d;
+
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        Latency latency = new Latency(
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                sorted[sorted.length - 1] / NANOS_PER_MILLI,
+                Arrays.stream(sorted).average().orElse(0) / NANOS_PER_MILLI);
+
+        return new ScenarioResult(name, targetRate, latencies.length,
+                latencies.length / elapsedSeconds,
+                successful / elapsedSeconds,
+                statusCounts, latency,
+                Arrays.stream(bytes).average().orElse(0),
+                Map.of(), 0);
+    }
+
+    ScenarioResult withUpstream(Map<String, Integer> upstreamCalls, long injectedUpstreamFaults) {
+        return new ScenarioResult(name, targetRatePerSecond, requests, throughputPerSecond,
+                successfulThroughputPerSecond, statusCounts,
+                latencyMs, meanResponseBytes, upstreamCalls, injectedUpstreamFaults);
+    }
+
+    int successful() {
+        return statusCounts.entrySet().stream()
+                .filter(e -> e.getKey().startsWith("2"))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / NANOS_PER_MILLI;
+    }
+}
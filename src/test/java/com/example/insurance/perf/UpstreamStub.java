@@ -0,0 +1,139 @@
+package com.example.insurance.perf;
+
+import com.example.insurance.support.PolicyFixtures;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * In-process WireMock serving the bundled {@code data/exercise.json} mappings,
+ * with a fixed latency and a random 503 rate injected on every upstream call.
+ */
+class UpstreamStub {
+
+    private static final String MAPPINGS = "/data/exercise.json";
+
+    private final WireMockServer server;
+    private final FaultInjector faultInjector;
+
+    private UpstreamStub(WireMockServer server, FaultInjector faultInjector) {
+        this.server = server;
+        this.faultInjector = faultInjector;
+    }
+
+    static UpstreamStub start(PerfSettings settings) {
+        FaultInjector faultInjector = new FaultInjector(settings.upstreamErrorRate());
+        WireMockServer server = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .extensions(faultInjector));
+        server.start();
+        server.setGlobalFixedDelay((int) settings.upstreamLatency().toMillis());
+
+        // Added one by one in file order so the more specific /polizas/{id}/... stubs take precedence
+        loadMappings().getMappings().forEach(server::addStubMapping);
+        if (settings.policiesPerUser() > 1) {
+            stubLargePolicyList(server, settings.policiesPerUser());
+        }
+        return new UpstreamStub(server, faultInjector);
+    }
+
+    // Overrides GET /polizas?dni with a longer list, keeping "12345" + dni first so the
+    // ownership checks in the other scenarios still pass
+    private static void stubLargePolicyList(WireMockServer server, int size) {
+        String body = PolicyFixtures.policyListJson(size,
+                i -> i == 0 ? "12345{{request.query.dni}}" : "{{request.query.dni}}-" + i);
+        server.stubFor(get(urlPathEqualTo("/polizas"))
+                .atPriority(1)
+                .withQueryParam("dni", matching(".*"))
+                .willReturn(okJson(body).withTransformers("response-template")));
+    }
+
+    private static StubImport loadMappings() {
+        try (InputStream in = UpstreamStub.class.getResourceAsStream(MAPPINGS)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing WireMock mappings: " + MAPPINGS);
+            }
+            return Json.read(new String(in.readAllBytes(), StandardCharsets.UTF_8), StubImport.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read WireMock mappings: " + MAPPINGS, e);
+        }
+    }
+
+    String baseUrl() {
+        return server.baseUrl();
+    }
+
+    void resetCounts() {
+        server.resetRequests();
+        faultInjector.injected.reset();
+    }
+
+    long injectedFaults() {
+        return faultInjector.injected.sum();
+    }
+
+    Map<String, Integer> callCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("GET /polizas?dni", count(urlPathEqualTo("/polizas")));
+        counts.put("GET /polizas/{id}", count(urlPathMatching("/polizas/[^/]+")));
+        counts.put("GET /polizas/{id}/condiciones", count(urlPathMatching("/polizas/[^/]+/condiciones")));
+        counts.put("GET /polizas/{id}/siniestros", count(urlPathMatching("/polizas/[^/]+/siniestros")));
+        counts.put("GET /siniestros/{id}", count(urlPathMatching("/siniestros/[^/]+")));
+        return counts;
+    }
+
+    private int count(UrlPattern url) {
+        return server.countRequestsMatching(getRequestedFor(url).build()).getCount();
+    }
+
+    void stop() {
+        server.stop();
+    }
+
+    private static class FaultInjector implements ResponseDefinitionTransformerV2 {
+
+        private final double errorRate;
+        private final LongAdder injected = new LongAdder();
+
+        FaultInjector(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injected.increment();
+                return ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(503)
+                        .build();
+            }
+            return serveEvent.getResponseDefinition();
+        }
+
+        @Override
+        public String getName() {
+            return "perf-fault-injector";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.insurance.support;
+
+import java.util.StringJoiner;
+import java.util.function.IntFunction;
+
+// WireMock response bodies shared by the functional and performance tests
+public final class PolicyFixtures {
+
+    public static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, "
+            + "sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.";
+
+    private PolicyFixtures() {
+    }
+
+    // GET /polizas?dni body with size policies, each with the long description and two coverages
+    public static String policyListJson(int size, IntFunction<String> policyId) {
+        StringJoiner body = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < size; i++) {
+            body.add("{\"polizaId\": \"" + policyId.apply(i) + "\", \"descripcion\": \"" + DESCRIPTION + "\", "
+                    + "\"coberturas\": [\"Cobertura A\", \"Cobertura B\"]}");
+        }
+        return body.toString();
+    }
+}